@@ -34,6 +34,7 @@ testing {
         "test"(JvmTestSuite::class) {
             dependencies {
                 compileOnly(libs.jetbrains.annotations)
+                implementation(libs.junit.jupiter.params)
                 implementation(libs.mockito)
             }
         }
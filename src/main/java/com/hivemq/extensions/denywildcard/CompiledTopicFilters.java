@@ -0,0 +1,131 @@
+/*
+ * Copyright 2019-present HiveMQ GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hivemq.extensions.denywildcard;
+
+import com.hivemq.extension.sdk.api.annotations.NotNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * CompiledTopicFilters holds the lookup structures built from a {@link TopicFilters} configuration.
+ * Each rule class is independent of the others, so they can be compiled in parallel.
+ */
+class CompiledTopicFilters
+{
+    static final @NotNull CompiledTopicFilters EMPTY =
+            new CompiledTopicFilters(Set.of(), List.of(), new String[0], false);
+
+    private static final @NotNull Logger LOG = LoggerFactory.getLogger(CompiledTopicFilters.class);
+
+    final @NotNull Set<String> topicsWhitelist;
+    final @NotNull List<Pattern> topicRegexWhitelist;
+    final @NotNull String[] topicBeginsBlacklist;
+    final boolean wildcardFastPath;
+
+    private CompiledTopicFilters(
+            final @NotNull Set<String> topicsWhitelist,
+            final @NotNull List<Pattern> topicRegexWhitelist,
+            final @NotNull String[] topicBeginsBlacklist,
+            final boolean wildcardFastPath)
+    {
+        this.topicsWhitelist = topicsWhitelist;
+        this.topicRegexWhitelist = topicRegexWhitelist;
+        this.topicBeginsBlacklist = topicBeginsBlacklist;
+        this.wildcardFastPath = wildcardFastPath;
+    }
+
+    static @NotNull CompiledTopicFilters compile(final @NotNull TopicFilters filters)
+    {
+        return new CompiledTopicFilters(
+                compileWhitelist(filters.topicsWhitelist),
+                compileRegexWhitelist(filters.topicRegexWhitelist),
+                compileBeginsBlacklist(filters.topicBeginsBlacklist),
+                filters.wildcardFastPath);
+    }
+
+    static @NotNull CompletableFuture<CompiledTopicFilters> compileAsync(
+            final @NotNull TopicFilters filters,
+            final @NotNull Executor executor)
+    {
+        final CompletableFuture<Set<String>> whitelist =
+                timedAsync("topicsWhitelist", () -> compileWhitelist(filters.topicsWhitelist), executor);
+        final CompletableFuture<List<Pattern>> regexWhitelist =
+                timedAsync("topicRegexWhitelist",
+                        () -> compileRegexWhitelist(filters.topicRegexWhitelist), executor);
+        final CompletableFuture<String[]> beginsBlacklist =
+                timedAsync("topicBeginsBlacklist",
+                        () -> compileBeginsBlacklist(filters.topicBeginsBlacklist), executor);
+
+        return CompletableFuture.allOf(whitelist, regexWhitelist, beginsBlacklist)
+                .thenApply(ignored -> new CompiledTopicFilters(
+                        whitelist.join(),
+                        regexWhitelist.join(),
+                        beginsBlacklist.join(),
+                        filters.wildcardFastPath));
+    }
+
+    private static <T> @NotNull CompletableFuture<T> timedAsync(
+            final @NotNull String name,
+            final @NotNull Supplier<T> compiler,
+            final @NotNull Executor executor)
+    {
+        return CompletableFuture.supplyAsync(() -> {
+            final long start = System.nanoTime();
+            final T result = compiler.get();
+            LOG.info("Compiled {} in {} ms", name, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            return result;
+        }, executor);
+    }
+
+    private static @NotNull Set<String> compileWhitelist(final @NotNull String[] topics)
+    {
+        return new HashSet<>(Arrays.asList(topics));
+    }
+
+    private static @NotNull List<Pattern> compileRegexWhitelist(final @NotNull String[] regexes)
+    {
+        final List<Pattern> patterns = new ArrayList<>(regexes.length);
+        for (final String regex : regexes)
+        {
+            try
+            {
+                patterns.add(Pattern.compile(regex));
+            }
+            catch (final PatternSyntaxException e)
+            {
+                LOG.error("Ignoring invalid regex whitelist topic '{}': {}", regex, e.getMessage());
+            }
+        }
+        return patterns;
+    }
+
+    private static @NotNull String[] compileBeginsBlacklist(final @NotNull String[] prefixes)
+    {
+        return prefixes.clone();
+    }
+}
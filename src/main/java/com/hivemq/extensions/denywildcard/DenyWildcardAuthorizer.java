@@ -15,7 +15,10 @@
  */
 package com.hivemq.extensions.denywildcard;
 
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.MetricRegistry;
 import com.hivemq.extension.sdk.api.annotations.NotNull;
+import com.hivemq.extension.sdk.api.annotations.Nullable;
 import com.hivemq.extension.sdk.api.auth.SubscriptionAuthorizer;
 import com.hivemq.extension.sdk.api.auth.parameter.SubscriptionAuthorizerInput;
 import com.hivemq.extension.sdk.api.auth.parameter.SubscriptionAuthorizerOutput;
@@ -24,7 +27,12 @@ import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -39,21 +47,94 @@ import java.util.regex.Pattern;
  * @author Lukas Brandl
  */
 class DenyWildcardAuthorizer implements SubscriptionAuthorizer {
-    static final @NotNull DenyWildcardAuthorizer INSTANCE = new DenyWildcardAuthorizer(TopicFilterFactory.BuildConfigFromFile());
     static final @NotNull String REASON_STRING = "Root wildcard subscriptions are not supported.";
-    private final @NotNull TopicFilters TOPIC_FILTERS;
+    static final @NotNull String PENDING_REASON_STRING = "Subscription rules are not ready yet.";
+    static final @NotNull String COMPILE_FAILED_REASON_STRING = "Subscription rules could not be compiled.";
+    private final @NotNull PendingRulesPolicy pendingRulesPolicy;
+    private volatile @Nullable CompiledTopicFilters compiledFilters;
+    private volatile boolean compileFailed;
+    private final @NotNull Map<TopicFilterCategory, Counter> categoryCounters = newCategoryCounters();
 
+    private static final @NotNull String FAST_PATH_METRIC_PREFIX = "com.hivemq.extensions.deny-wildcard.fast-path.";
     private static final @NotNull Pattern SHARED_SUBSCRIPTION_PATTERN = Pattern.compile("\\$share(/.*?/(.*))");
     private static final @NotNull Logger LOG = LoggerFactory.getLogger(DenyWildcardAuthorizer.class);
     private static final @NotNull String WILDCARD_CHARS = "#/+";
     private static final @NotNull String[] MQTT_PREFIXES = { "$share/", "$expired/", "$dropped/" };
 
+    /**
+     * Creates an authorizer with the given rules compiled immediately, so no pending rules policy applies.
+     */
     public DenyWildcardAuthorizer(final TopicFilters filters) {
-        TOPIC_FILTERS = filters;
+        this(PendingRulesPolicy.ROOT_WILDCARD_ONLY);
+        compiledFilters = CompiledTopicFilters.compile(filters);
     }
 
     public DenyWildcardAuthorizer() {
-        TOPIC_FILTERS = new TopicFilters();
+        this(new TopicFilters());
+    }
+
+    /**
+     * Creates an authorizer whose rules are supplied later through {@link #compileRules}.
+     * Until then, subscriptions are handled according to the given policy.
+     */
+    DenyWildcardAuthorizer(final @NotNull PendingRulesPolicy pendingRulesPolicy) {
+        this.pendingRulesPolicy = pendingRulesPolicy;
+        compiledFilters = null;
+    }
+
+    /**
+     * Compiles the given rules on the executor and applies them once all rule classes are ready.
+     * If compilation fails, a DENY policy keeps denying every subscription, any other policy falls back to the
+     * built-in root wildcard check.
+     */
+    @NotNull CompletableFuture<Void> compileRules(
+            final @NotNull TopicFilters filters,
+            final @NotNull Executor executor) {
+        final long compileStart = System.nanoTime();
+        return CompiledTopicFilters.compileAsync(filters, executor).handle((compiled, throwable) -> {
+            if (throwable != null) {
+                if (pendingRulesPolicy == PendingRulesPolicy.DENY) {
+                    LOG.error("Could not compile topic filter rules, all subscriptions are denied", throwable);
+                    compileFailed = true;
+                } else {
+                    LOG.error("Could not compile topic filter rules, only root wildcard subscriptions are denied",
+                            throwable);
+                    compiledFilters = CompiledTopicFilters.EMPTY;
+                }
+                return null;
+            }
+            compiledFilters = compiled;
+            LOG.info("Compiled topic filter rules in {} ms",
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - compileStart));
+            return null;
+        });
+    }
+
+    /**
+     * Number of topic filters classified into the given category while the wildcard fast path was enabled.
+     */
+    long getCategoryCount(final @NotNull TopicFilterCategory category) {
+        return categoryCounters.get(category).getCount();
+    }
+
+    /**
+     * Uses one registry counter per {@link TopicFilterCategory} for the wildcard fast path, reusing counters that are
+     * already registered. Must be called before the authorizer is installed.
+     */
+    void registerMetrics(final @NotNull MetricRegistry metricRegistry) {
+        for (final TopicFilterCategory category : TopicFilterCategory.values()) {
+            categoryCounters.put(category, metricRegistry.counter(metricName(category)));
+        }
+    }
+
+    static void removeMetrics(final @NotNull MetricRegistry metricRegistry) {
+        for (final TopicFilterCategory category : TopicFilterCategory.values()) {
+            metricRegistry.remove(metricName(category));
+        }
+    }
+
+    static @NotNull String metricName(final @NotNull TopicFilterCategory category) {
+        return FAST_PATH_METRIC_PREFIX + category.name().toLowerCase(Locale.ROOT).replace('_', '-');
     }
 
     @Override
@@ -64,7 +145,35 @@ class DenyWildcardAuthorizer implements SubscriptionAuthorizer {
         String topicFilter = subscriptionAuthorizerInput.getSubscription().getTopicFilter();
         topicFilter = removeMqttPrefixes(topicFilter);
 
-        if (isInvalidTopic(topicFilter)) {
+        final CompiledTopicFilters filters = compiledFilters;
+        if (filters == null && pendingRulesPolicy != PendingRulesPolicy.ROOT_WILDCARD_ONLY) {
+            if (pendingRulesPolicy == PendingRulesPolicy.ALLOW) {
+                subscriptionAuthorizerOutput.authorizeSuccessfully();
+            } else if (compileFailed) {
+                LOG.debug("Client {} tried to subscribe to topic filter '{}' but the rules could not be compiled",
+                        subscriptionAuthorizerInput.getClientInformation().getClientId(),
+                        topicFilter);
+                subscriptionAuthorizerOutput.failAuthorization(
+                        SubackReasonCode.NOT_AUTHORIZED, COMPILE_FAILED_REASON_STRING);
+            } else {
+                LOG.debug("Client {} tried to subscribe to topic filter '{}' before the rules were ready",
+                        subscriptionAuthorizerInput.getClientInformation().getClientId(),
+                        topicFilter);
+                subscriptionAuthorizerOutput.failAuthorization(SubackReasonCode.NOT_AUTHORIZED, PENDING_REASON_STRING);
+            }
+            return;
+        }
+
+        if (filters != null && filters.wildcardFastPath) {
+            final TopicFilterCategory category = TopicFilterCategory.classify(topicFilter);
+            categoryCounters.get(category).inc();
+            if (category == TopicFilterCategory.WILDCARD_FREE) {
+                subscriptionAuthorizerOutput.authorizeSuccessfully();
+                return;
+            }
+        }
+
+        if (isInvalidTopic(topicFilter, filters == null ? CompiledTopicFilters.EMPTY : filters)) {
             LOG.debug("Client {} tried to subscribe to a denied first level wildcard topic filter '{}'",
                     subscriptionAuthorizerInput.getClientInformation().getClientId(),
                     topicFilter);
@@ -74,6 +183,15 @@ class DenyWildcardAuthorizer implements SubscriptionAuthorizer {
         }
     }
 
+    private static @NotNull Map<TopicFilterCategory, Counter> newCategoryCounters()
+    {
+        final Map<TopicFilterCategory, Counter> counters = new EnumMap<>(TopicFilterCategory.class);
+        for (final TopicFilterCategory category : TopicFilterCategory.values()) {
+            counters.put(category, new Counter());
+        }
+        return counters;
+    }
+
     private String removeMqttPrefixes(final String topicFilter)
     {
         for (final String prefix : MQTT_PREFIXES) {
@@ -92,32 +210,25 @@ class DenyWildcardAuthorizer implements SubscriptionAuthorizer {
         return topicFilter;
     }
 
-    private boolean isInvalidTopic(final String topic)
+    private boolean isInvalidTopic(final String topic, final CompiledTopicFilters filters)
     {
         // Validate against whitelist
-        if(Arrays.asList(TOPIC_FILTERS.topicsWhitelist).contains(topic))
+        if (filters.topicsWhitelist.contains(topic))
         {
             return false;
         }
 
         // Validate against regex whitelist
-        try
+        for (final Pattern regexWhitelistTopic : filters.topicRegexWhitelist)
         {
-            for (final String regexWhitelistTopic : TOPIC_FILTERS.topicRegexWhitelist)
+            if (regexWhitelistTopic.matcher(topic).matches())
             {
-                if (topic.matches(regexWhitelistTopic))
-                {
-                    return false;
-                }
+                return false;
             }
         }
-        catch (final Exception e)
-        {
-            LOG.error("An error occurred while checking regex whitelist topics: {}", e.getMessage());
-        }
 
         // Validate against begins with blacklist
-        if (StringUtils.startsWithAny(topic, TOPIC_FILTERS.topicBeginsBlacklist))
+        if (StringUtils.startsWithAny(topic, filters.topicBeginsBlacklist))
         {
             LOG.debug("Topic {} starts with a denied topic", topic);
             return true;
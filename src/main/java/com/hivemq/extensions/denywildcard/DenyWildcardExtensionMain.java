@@ -25,6 +25,9 @@ import org.jetbrains.annotations.NotNull;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
 /**
  * @author Lukas Brandl
  */
@@ -38,12 +41,30 @@ public class DenyWildcardExtensionMain implements ExtensionMain {
             final @NotNull ExtensionStartInput extensionStartInput,
             final @NotNull ExtensionStartOutput extensionStartOutput) {
         LOG.info("Using the Deny Wildcard extension. Subscribing to '#' is prohibited.");
-        Services.securityRegistry().setAuthorizerProvider(authorizerProviderInput -> DenyWildcardAuthorizer.INSTANCE);
+
+        final long loadStart = System.nanoTime();
+        final TopicFilters filters = TopicFilterFactory.BuildConfigFromFile();
+        LOG.info("Loaded topic filter configuration in {} ms", elapsedMillis(loadStart));
+
+        LOG.info("Subscriptions received before the topic filter rules are compiled are handled with policy {}",
+                filters.pendingRulesPolicy);
+
+        final DenyWildcardAuthorizer authorizer = new DenyWildcardAuthorizer(filters.pendingRulesPolicy);
+        if (filters.wildcardFastPath) {
+            authorizer.registerMetrics(Services.metricRegistry());
+        }
+        Services.securityRegistry().setAuthorizerProvider(authorizerProviderInput -> authorizer);
+        authorizer.compileRules(filters, ForkJoinPool.commonPool());
     }
 
     @Override
     public void extensionStop(
             final @NotNull ExtensionStopInput extensionStopInput,
             final @NotNull ExtensionStopOutput extensionStopOutput) {
+        DenyWildcardAuthorizer.removeMetrics(Services.metricRegistry());
+    }
+
+    private static long elapsedMillis(final long startNanos) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
     }
 }
@@ -0,0 +1,37 @@
+/*
+ * Copyright 2019-present HiveMQ GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hivemq.extensions.denywildcard;
+
+/**
+ * Decides how subscriptions are handled while the topic filter rules are still being compiled at extension start.
+ */
+public enum PendingRulesPolicy
+{
+    /**
+     * Deny every subscription until the configured rules are ready
+     */
+    DENY,
+
+    /**
+     * Allow every subscription until the configured rules are ready
+     */
+    ALLOW,
+
+    /**
+     * Apply only the built-in root wildcard check until the configured rules are ready
+     */
+    ROOT_WILDCARD_ONLY
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright 2019-present HiveMQ GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hivemq.extensions.denywildcard;
+
+import com.hivemq.extension.sdk.api.annotations.NotNull;
+
+/**
+ * TopicFilterCategory classifies a topic filter by the wildcards it contains.
+ */
+enum TopicFilterCategory
+{
+    /**
+     * Contains neither '+' nor '#'
+     */
+    WILDCARD_FREE,
+
+    /**
+     * Contains '+' or '#' alongside other characters
+     */
+    WILDCARD,
+
+    /**
+     * Consists only of '#', '+' and '/' characters
+     */
+    ROOT_WILDCARD;
+
+    static @NotNull TopicFilterCategory classify(final @NotNull String topic)
+    {
+        boolean hasWildcard = false;
+        boolean onlyWildcardChars = true;
+        for (int i = 0; i < topic.length(); i++)
+        {
+            final char c = topic.charAt(i);
+            if (c == '+' || c == '#')
+            {
+                hasWildcard = true;
+            }
+            else if (c != '/')
+            {
+                onlyWildcardChars = false;
+            }
+        }
+        // Matches StringUtils.containsOnly, which also treats "" and "/" as root wildcards
+        if (onlyWildcardChars)
+        {
+            return ROOT_WILDCARD;
+        }
+        return hasWildcard ? WILDCARD : WILDCARD_FREE;
+    }
+}
@@ -16,12 +16,15 @@
 package com.hivemq.extensions.denywildcard;
 
 import com.google.gson.Gson;
+import com.google.gson.JsonParser;
 import com.hivemq.extension.sdk.api.annotations.NotNull;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.BufferedReader;
 import java.io.FileReader;
+import java.util.Arrays;
+import java.util.Objects;
 
 public class TopicFilterFactory
 {
@@ -40,7 +43,7 @@ public class TopicFilterFactory
             final BufferedReader reader = new BufferedReader(new FileReader(filepath));
             final String json = BuildStringFromBufferedReader(reader);
             LOG.info("Found topic filter configuration file at: {}", filepath);
-            return BuildConfigFromFile(json);
+            return BuildConfigFromString(json);
         }
         catch(final Exception exception)
         {
@@ -54,6 +57,22 @@ public class TopicFilterFactory
         try
         {
             final TopicFilters filter = new Gson().fromJson(json, TopicFilters.class);
+            if (filter == null)
+            {
+                LOG.warn("Topic filter configuration is empty");
+                return new TopicFilters();
+            }
+            if (filter.pendingRulesPolicy == null)
+            {
+                // Gson maps unknown enum constants to null, so read the raw value for the warning
+                LOG.warn("Unknown pendingRulesPolicy {}, using {}",
+                        JsonParser.parseString(json).getAsJsonObject().get("pendingRulesPolicy"),
+                        PendingRulesPolicy.ROOT_WILDCARD_ONLY);
+                filter.pendingRulesPolicy = PendingRulesPolicy.ROOT_WILDCARD_ONLY;
+            }
+            filter.topicsWhitelist = NormalizeTopics("topicsWhitelist", filter.topicsWhitelist);
+            filter.topicBeginsBlacklist = NormalizeTopics("topicBeginsBlacklist", filter.topicBeginsBlacklist);
+            filter.topicRegexWhitelist = NormalizeTopics("topicRegexWhitelist", filter.topicRegexWhitelist);
             LOG.info("Topic filter configuration: {}", json);
             return filter;
         }
@@ -64,6 +83,22 @@ public class TopicFilterFactory
         }
     }
 
+    private static String[] NormalizeTopics(final String name, final String[] topics)
+    {
+        // Gson keeps explicit nulls, which would otherwise fail rule compilation
+        if (topics == null)
+        {
+            LOG.warn("Topic filter list {} is null, using an empty list", name);
+            return new String[0];
+        }
+        final String[] nonNullTopics = Arrays.stream(topics).filter(Objects::nonNull).toArray(String[]::new);
+        if (nonNullTopics.length != topics.length)
+        {
+            LOG.warn("Ignoring {} null entries in topic filter list {}", topics.length - nonNullTopics.length, name);
+        }
+        return nonNullTopics;
+    }
+
     private static String BuildStringFromBufferedReader(final BufferedReader reader)
     {
         try
@@ -34,4 +34,15 @@ public class TopicFilters
      * Whitelisted topics containing regex expressions that ignore other restrictions in the extension
      */
     public String[] topicRegexWhitelist = new String[0];
+
+    /**
+     * How subscriptions are handled while the rules above are still being compiled at extension start
+     */
+    public PendingRulesPolicy pendingRulesPolicy = PendingRulesPolicy.ROOT_WILDCARD_ONLY;
+
+    /**
+     * Allow wildcard-free topics without checking them against the rules above, which then only apply to topics
+     * containing wildcards
+     */
+    public boolean wildcardFastPath = false;
 }
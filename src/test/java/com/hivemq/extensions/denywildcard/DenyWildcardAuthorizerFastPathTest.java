@@ -0,0 +1,200 @@
+/*
+ * Copyright 2019-present HiveMQ GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hivemq.extensions.denywildcard;
+
+import com.codahale.metrics.MetricRegistry;
+import com.hivemq.extension.sdk.api.auth.parameter.SubscriptionAuthorizerInput;
+import com.hivemq.extension.sdk.api.auth.parameter.SubscriptionAuthorizerOutput;
+import com.hivemq.extension.sdk.api.client.parameter.ClientInformation;
+import com.hivemq.extension.sdk.api.packets.subscribe.SubackReasonCode;
+import com.hivemq.extension.sdk.api.packets.subscribe.Subscription;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+// Test for the wildcard fast path - decisions must match the regular rule pipeline
+class DenyWildcardAuthorizerFastPathTest
+{
+    private @NotNull SubscriptionAuthorizerInput input;
+    private @NotNull SubscriptionAuthorizerOutput output;
+
+    @BeforeEach
+    void setUp() {
+        input = mock(SubscriptionAuthorizerInput.class);
+        output = mock(SubscriptionAuthorizerOutput.class);
+        final ClientInformation clientInformation = mock(ClientInformation.class);
+        final Subscription subscription = mock(Subscription.class);
+        when(input.getClientInformation()).thenReturn(clientInformation);
+        when(clientInformation.getClientId()).thenReturn("client");
+        when(input.getSubscription()).thenReturn(subscription);
+    }
+
+    // Copy of the DenyWildcardAuthorizerTest cases, keep both in sync
+    // Topic filters are quoted because a leading '#' starts a CSV comment
+    @ParameterizedTest
+    @CsvSource({
+            "'#', false",
+            "'$share/group/#', false",
+            "'/#', false",
+            "'$share/group//#', false",
+            "'+/#', false",
+            "'$share/group/+/#', false",
+            "'+/+', false",
+            "'$share/group/+/+', false",
+            "'topic', true",
+            "'topic/#', true",
+            "'$share/group/topic/#', true",
+            "'+/topic/#', true",
+            "'$share/group/+/topic/#', true",
+            "'topic/+', true",
+            "'+/topic', true",
+            "'$expired/#', false",
+            "'$expired/+/+', false",
+            "'$expired/topic/+', true",
+            "'$dropped/#', false",
+            "'$dropped/+/+', false",
+            "'$dropped/topic/+', true"
+    })
+    void test_noRules_decisionUnchanged(final @NotNull String topicFilter, final boolean authorized) {
+        when(input.getSubscription().getTopicFilter()).thenReturn(topicFilter);
+        final TopicFilters filter = new TopicFilters();
+        filter.wildcardFastPath = true;
+        new DenyWildcardAuthorizer(filter).authorizeSubscribe(input, output);
+
+        verifyDecision(authorized);
+    }
+
+    // Copy of the DenyWildcardAuthorizerFiltersTest cases, keep both in sync
+    static @NotNull Stream<Arguments> filtersTestCases() {
+        final TopicFilters whitelistOverridesWildcardRules = new TopicFilters();
+        whitelistOverridesWildcardRules.topicsWhitelist = new String[] { "#" };
+
+        final TopicFilters whitelistOverridesBlacklist = new TopicFilters();
+        whitelistOverridesBlacklist.topicsWhitelist = new String[] { "+/test" };
+        whitelistOverridesBlacklist.topicBeginsBlacklist = new String[] { "+" };
+
+        final TopicFilters regexWhitelistOverridesBlacklist = new TopicFilters();
+        regexWhitelistOverridesBlacklist.topicRegexWhitelist = new String[] { "/\\+/[^/]+/test/#" };
+        regexWhitelistOverridesBlacklist.topicBeginsBlacklist = new String[] { "/+", "+" };
+
+        final TopicFilters invalidRegexWhitelist = new TopicFilters();
+        invalidRegexWhitelist.topicRegexWhitelist = new String[] { "(", "valid/.*" };
+        invalidRegexWhitelist.topicBeginsBlacklist = new String[] { "valid/" };
+
+        final TopicFilters beginsBlacklist = new TopicFilters();
+        beginsBlacklist.topicBeginsBlacklist = new String[] { "/test/+", "+" };
+
+        return Stream.of(
+                Arguments.of(whitelistOverridesWildcardRules, "#", true),
+                Arguments.of(whitelistOverridesBlacklist, "+/test", true),
+                Arguments.of(regexWhitelistOverridesBlacklist, "/+/anystring/test/#", true),
+                Arguments.of(invalidRegexWhitelist, "valid/#", true),
+                Arguments.of(beginsBlacklist, "/test/+/123", false));
+    }
+
+    @ParameterizedTest
+    @MethodSource("filtersTestCases")
+    void test_configuredRules_decisionUnchanged(
+            final @NotNull TopicFilters filter,
+            final @NotNull String topicFilter,
+            final boolean authorized) {
+        when(input.getSubscription().getTopicFilter()).thenReturn(topicFilter);
+        filter.wildcardFastPath = true;
+        new DenyWildcardAuthorizer(filter).authorizeSubscribe(input, output);
+
+        verifyDecision(authorized);
+    }
+
+    @ParameterizedTest
+    @CsvSource({ "false, false", "true, true" })
+    void test_wildcardFreeBlacklistedTopic_onlyAllowedWithFastPath(
+            final boolean wildcardFastPath,
+            final boolean authorized) {
+        when(input.getSubscription().getTopicFilter()).thenReturn("secret/topic");
+        final TopicFilters filter = new TopicFilters();
+        filter.wildcardFastPath = wildcardFastPath;
+        filter.topicBeginsBlacklist = new String[] { "secret/" };
+        new DenyWildcardAuthorizer(filter).authorizeSubscribe(input, output);
+
+        verifyDecision(authorized);
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = { false, true })
+    void test_wildcardFreeWhitelistedTopic_allowed(final boolean wildcardFastPath) {
+        when(input.getSubscription().getTopicFilter()).thenReturn("secret/topic");
+        final TopicFilters filter = new TopicFilters();
+        filter.wildcardFastPath = wildcardFastPath;
+        filter.topicsWhitelist = new String[] { "secret/topic" };
+        filter.topicBeginsBlacklist = new String[] { "secret/" };
+        new DenyWildcardAuthorizer(filter).authorizeSubscribe(input, output);
+
+        verify(output).authorizeSuccessfully();
+    }
+
+    @Test
+    void test_categoryCounts() {
+        when(input.getSubscription().getTopicFilter()).thenReturn("topic", "topic/+", "$share/group/#", "/");
+        final TopicFilters filter = new TopicFilters();
+        filter.wildcardFastPath = true;
+        final DenyWildcardAuthorizer authorizer = new DenyWildcardAuthorizer(filter);
+        for (int i = 0; i < 4; i++) {
+            authorizer.authorizeSubscribe(input, output);
+        }
+
+        assertEquals(1, authorizer.getCategoryCount(TopicFilterCategory.WILDCARD_FREE));
+        assertEquals(1, authorizer.getCategoryCount(TopicFilterCategory.WILDCARD));
+        assertEquals(2, authorizer.getCategoryCount(TopicFilterCategory.ROOT_WILDCARD));
+    }
+
+    @Test
+    void test_categoryCounters_registeredAsMetrics() {
+        when(input.getSubscription().getTopicFilter()).thenReturn("topic");
+        final TopicFilters filter = new TopicFilters();
+        filter.wildcardFastPath = true;
+        final DenyWildcardAuthorizer authorizer = new DenyWildcardAuthorizer(filter);
+        final MetricRegistry metricRegistry = new MetricRegistry();
+        final String name = "com.hivemq.extensions.deny-wildcard.fast-path.wildcard-free";
+        // A leftover registration must be reused instead of failing
+        metricRegistry.counter(name);
+        authorizer.registerMetrics(metricRegistry);
+        authorizer.authorizeSubscribe(input, output);
+
+        assertEquals(1, metricRegistry.counter(name).getCount());
+        DenyWildcardAuthorizer.removeMetrics(metricRegistry);
+        assertEquals(0, metricRegistry.getCounters().size());
+    }
+
+    private void verifyDecision(final boolean authorized) {
+        if (authorized) {
+            verify(output).authorizeSuccessfully();
+        } else {
+            verify(output).failAuthorization(SubackReasonCode.NOT_AUTHORIZED, DenyWildcardAuthorizer.REASON_STRING);
+        }
+    }
+}
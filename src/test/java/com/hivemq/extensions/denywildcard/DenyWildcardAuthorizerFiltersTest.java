@@ -1,3 +1,18 @@
+/*
+ * Copyright 2019-present HiveMQ GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
 package com.hivemq.extensions.denywildcard;
 
 import com.hivemq.extension.sdk.api.auth.parameter.SubscriptionAuthorizerInput;
@@ -14,6 +29,7 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 // Test for specific topic filter behaviour - wildcard tests in DenyWildcardAuthorizerTest
+// Cases are mirrored in DenyWildcardAuthorizerFastPathTest, keep both in sync
 public class DenyWildcardAuthorizerFiltersTest
 {
     private @NotNull SubscriptionAuthorizerInput input;
@@ -75,6 +91,22 @@ public class DenyWildcardAuthorizerFiltersTest
         verify(output).authorizeSuccessfully();
     }
 
+    @Test
+    void test_invalidRegexWhitelist_doesNotSkipLaterPatterns()
+    {
+        // Arrange
+        when(input.getSubscription().getTopicFilter()).thenReturn("valid/#");
+        final TopicFilters filter = new TopicFilters();
+        filter.topicRegexWhitelist = new String[] { "(", "valid/.*" };
+        filter.topicBeginsBlacklist = new String[] { "valid/" };
+
+        // Act
+        new DenyWildcardAuthorizer(filter).authorizeSubscribe(input, output);
+
+        // Assert
+        verify(output).authorizeSuccessfully();
+    }
+
     @Test
     void test_topicBeginsBlacklist()
     {
@@ -0,0 +1,170 @@
+/*
+ * Copyright 2019-present HiveMQ GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hivemq.extensions.denywildcard;
+
+import com.hivemq.extension.sdk.api.auth.parameter.SubscriptionAuthorizerInput;
+import com.hivemq.extension.sdk.api.auth.parameter.SubscriptionAuthorizerOutput;
+import com.hivemq.extension.sdk.api.client.parameter.ClientInformation;
+import com.hivemq.extension.sdk.api.packets.subscribe.SubackReasonCode;
+import com.hivemq.extension.sdk.api.packets.subscribe.Subscription;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ForkJoinPool;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+// Test for subscriptions that arrive before the topic filter rules are compiled
+class DenyWildcardAuthorizerPendingRulesTest
+{
+    private @NotNull SubscriptionAuthorizerInput input;
+    private @NotNull SubscriptionAuthorizerOutput output;
+
+    @BeforeEach
+    void setUp() {
+        input = mock(SubscriptionAuthorizerInput.class);
+        output = mock(SubscriptionAuthorizerOutput.class);
+        final ClientInformation clientInformation = mock(ClientInformation.class);
+        final Subscription subscription = mock(Subscription.class);
+        when(input.getClientInformation()).thenReturn(clientInformation);
+        when(clientInformation.getClientId()).thenReturn("client");
+        when(input.getSubscription()).thenReturn(subscription);
+    }
+
+    @Test
+    void test_pendingDeny_deniesConcreteTopic() {
+        // Arrange
+        when(input.getSubscription().getTopicFilter()).thenReturn("topic");
+
+        // Act
+        new DenyWildcardAuthorizer(PendingRulesPolicy.DENY).authorizeSubscribe(input, output);
+
+        // Assert
+        verify(output).failAuthorization(SubackReasonCode.NOT_AUTHORIZED, DenyWildcardAuthorizer.PENDING_REASON_STRING);
+    }
+
+    @Test
+    void test_pendingAllow_allowsRootWildcard() {
+        // Arrange
+        when(input.getSubscription().getTopicFilter()).thenReturn("#");
+
+        // Act
+        new DenyWildcardAuthorizer(PendingRulesPolicy.ALLOW).authorizeSubscribe(input, output);
+
+        // Assert
+        verify(output).authorizeSuccessfully();
+    }
+
+    @Test
+    void test_pendingRootWildcardOnly_deniesRootWildcard() {
+        // Arrange
+        when(input.getSubscription().getTopicFilter()).thenReturn("$share/group/+/#");
+
+        // Act
+        new DenyWildcardAuthorizer(PendingRulesPolicy.ROOT_WILDCARD_ONLY).authorizeSubscribe(input, output);
+
+        // Assert
+        verify(output).failAuthorization(SubackReasonCode.NOT_AUTHORIZED, DenyWildcardAuthorizer.REASON_STRING);
+    }
+
+    @Test
+    void test_pendingRootWildcardOnly_ignoresConfiguredBlacklist() {
+        // Arrange
+        when(input.getSubscription().getTopicFilter()).thenReturn("+/test");
+        final TopicFilters filter = new TopicFilters();
+        filter.topicBeginsBlacklist = new String[] { "+" };
+        final DenyWildcardAuthorizer authorizer = new DenyWildcardAuthorizer(PendingRulesPolicy.ROOT_WILDCARD_ONLY);
+        final SubscriptionAuthorizerOutput compiledOutput = mock(SubscriptionAuthorizerOutput.class);
+
+        // Act
+        authorizer.authorizeSubscribe(input, output);
+        authorizer.compileRules(filter, ForkJoinPool.commonPool()).join();
+        authorizer.authorizeSubscribe(input, compiledOutput);
+
+        // Assert
+        verify(output).authorizeSuccessfully();
+        verify(compiledOutput).failAuthorization(SubackReasonCode.NOT_AUTHORIZED, DenyWildcardAuthorizer.REASON_STRING);
+    }
+
+    @Test
+    void test_compiledRules_replacePendingPolicy() {
+        // Arrange
+        when(input.getSubscription().getTopicFilter()).thenReturn("+/test");
+        final TopicFilters filter = new TopicFilters();
+        filter.topicBeginsBlacklist = new String[] { "+" };
+        final DenyWildcardAuthorizer authorizer = new DenyWildcardAuthorizer(PendingRulesPolicy.ALLOW);
+
+        // Act
+        authorizer.compileRules(filter, ForkJoinPool.commonPool()).join();
+        authorizer.authorizeSubscribe(input, output);
+
+        // Assert
+        verify(output).failAuthorization(SubackReasonCode.NOT_AUTHORIZED, DenyWildcardAuthorizer.REASON_STRING);
+    }
+
+    @Test
+    void test_compileFailure_pendingDeny_keepsDenying() {
+        // Arrange
+        when(input.getSubscription().getTopicFilter()).thenReturn("topic");
+        final TopicFilters filter = new TopicFilters();
+        filter.topicsWhitelist = null;
+        final DenyWildcardAuthorizer authorizer = new DenyWildcardAuthorizer(PendingRulesPolicy.DENY);
+
+        // Act
+        authorizer.compileRules(filter, ForkJoinPool.commonPool()).join();
+        authorizer.authorizeSubscribe(input, output);
+
+        // Assert
+        verify(output).failAuthorization(
+                SubackReasonCode.NOT_AUTHORIZED, DenyWildcardAuthorizer.COMPILE_FAILED_REASON_STRING);
+    }
+
+    @Test
+    void test_nullConfigValues_pendingDeny_compileSucceeds() {
+        // Arrange
+        when(input.getSubscription().getTopicFilter()).thenReturn("topic");
+        final String json = "{\"topicsWhitelist\":null,\"topicRegexWhitelist\":[null,\"valid/.*\"],"
+                + "\"pendingRulesPolicy\":\"DENY\"}";
+        final TopicFilters filter = TopicFilterFactory.BuildConfigFromString(json);
+        final DenyWildcardAuthorizer authorizer = new DenyWildcardAuthorizer(filter.pendingRulesPolicy);
+
+        // Act
+        authorizer.compileRules(filter, ForkJoinPool.commonPool()).join();
+        authorizer.authorizeSubscribe(input, output);
+
+        // Assert
+        verify(output).authorizeSuccessfully();
+    }
+
+    @Test
+    void test_compileFailure_pendingAllow_fallsBackToRootWildcardOnly() {
+        // Arrange
+        when(input.getSubscription().getTopicFilter()).thenReturn("#");
+        final TopicFilters filter = new TopicFilters();
+        filter.topicsWhitelist = null;
+        final DenyWildcardAuthorizer authorizer = new DenyWildcardAuthorizer(PendingRulesPolicy.ALLOW);
+
+        // Act
+        authorizer.compileRules(filter, ForkJoinPool.commonPool()).join();
+        authorizer.authorizeSubscribe(input, output);
+
+        // Assert
+        verify(output).failAuthorization(SubackReasonCode.NOT_AUTHORIZED, DenyWildcardAuthorizer.REASON_STRING);
+    }
+}
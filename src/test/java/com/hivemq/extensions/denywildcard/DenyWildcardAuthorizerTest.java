@@ -31,6 +31,7 @@ import static org.mockito.Mockito.when;
 /**
  * @author Florian Limpoeck
  */
+// Cases are mirrored in DenyWildcardAuthorizerFastPathTest, keep both in sync
 class DenyWildcardAuthorizerTest
 {
     private @NotNull SubscriptionAuthorizerInput input;
@@ -16,10 +16,41 @@
 package com.hivemq.extensions.denywildcard;
 
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 public class TopicFilterFactoryTest {
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void buildConfigFromFile_returnsTopicFilters_whenFileExists() throws IOException
+    {
+        final Path file = tempDir.resolve("filter.json");
+        Files.write(file, "{\"topicsWhitelist\":[\"#\"],\"pendingRulesPolicy\":\"DENY\",\"wildcardFastPath\":true}"
+                .getBytes(StandardCharsets.UTF_8));
+        final TopicFilters topicFilters = TopicFilterFactory.BuildConfigFromFile(file.toString());
+        assertNotNull(topicFilters);
+        assertArrayEquals(new String[] { "#" }, topicFilters.topicsWhitelist);
+        assertEquals(PendingRulesPolicy.DENY, topicFilters.pendingRulesPolicy);
+        assertTrue(topicFilters.wildcardFastPath);
+    }
+
+    @Test
+    public void buildConfigFromFile_returnsEmptyTopicFilters_whenFileMissing()
+    {
+        final String missing = tempDir.resolve("missing.json").toString();
+        final TopicFilters topicFilters = TopicFilterFactory.BuildConfigFromFile(missing);
+        assertNotNull(topicFilters);
+        assertEquals(0, topicFilters.topicsWhitelist.length);
+    }
+
     @Test
     public void buildConfigFromFile_returnsEmptyTopicFilters_whenEmptyJson() throws IOException
     {
@@ -74,4 +105,61 @@ public class TopicFilterFactoryTest {
         assertEquals(2, topicFilters.topicBeginsBlacklist.length);
         assertEquals(0, topicFilters.topicRegexWhitelist.length);
     }
+
+    @Test
+    public void buildConfigFromFile_returnsPendingRulesPolicy_whenPolicyConfigured() throws IOException
+    {
+        final String json = "{\"pendingRulesPolicy\":\"DENY\"}";
+        final TopicFilters topicFilters = TopicFilterFactory.BuildConfigFromString(json);
+        assertNotNull(topicFilters);
+        assertEquals(PendingRulesPolicy.DENY, topicFilters.pendingRulesPolicy);
+    }
+
+    @Test
+    public void buildConfigFromFile_returnsRootWildcardOnlyPolicy_whenPolicyMissing() throws IOException
+    {
+        final String json = "{}";
+        final TopicFilters topicFilters = TopicFilterFactory.BuildConfigFromString(json);
+        assertNotNull(topicFilters);
+        assertEquals(PendingRulesPolicy.ROOT_WILDCARD_ONLY, topicFilters.pendingRulesPolicy);
+    }
+
+    @Test
+    public void buildConfigFromFile_returnsRootWildcardOnlyPolicy_whenPolicyUnknown() throws IOException
+    {
+        final String json = "{\"pendingRulesPolicy\":\"deny\"}";
+        final TopicFilters topicFilters = TopicFilterFactory.BuildConfigFromString(json);
+        assertNotNull(topicFilters);
+        assertEquals(PendingRulesPolicy.ROOT_WILDCARD_ONLY, topicFilters.pendingRulesPolicy);
+    }
+
+    @Test
+    public void buildConfigFromFile_returnsEmptyTopicFilters_whenEmptyString() throws IOException
+    {
+        final TopicFilters topicFilters = TopicFilterFactory.BuildConfigFromString("");
+        assertNotNull(topicFilters);
+        assertEquals(PendingRulesPolicy.ROOT_WILDCARD_ONLY, topicFilters.pendingRulesPolicy);
+    }
+
+    @Test
+    public void buildConfigFromFile_returnsEmptyLists_whenListsNull() throws IOException
+    {
+        final String json = "{\"topicsWhitelist\":null,\"topicBeginsBlacklist\":null,\"topicRegexWhitelist\":null}";
+        final TopicFilters topicFilters = TopicFilterFactory.BuildConfigFromString(json);
+        assertNotNull(topicFilters);
+        assertEquals(0, topicFilters.topicsWhitelist.length);
+        assertEquals(0, topicFilters.topicBeginsBlacklist.length);
+        assertEquals(0, topicFilters.topicRegexWhitelist.length);
+    }
+
+    @Test
+    public void buildConfigFromFile_skipsNullEntries_whenListsContainNull() throws IOException
+    {
+        final String json = "{\"topicsWhitelist\":[null,\"#\"],\"topicBeginsBlacklist\":[\"+\",null],\"topicRegexWhitelist\":[null]}";
+        final TopicFilters topicFilters = TopicFilterFactory.BuildConfigFromString(json);
+        assertNotNull(topicFilters);
+        assertArrayEquals(new String[] { "#" }, topicFilters.topicsWhitelist);
+        assertArrayEquals(new String[] { "+" }, topicFilters.topicBeginsBlacklist);
+        assertEquals(0, topicFilters.topicRegexWhitelist.length);
+    }
 }